@@ -22,9 +22,11 @@ public class AVL<T extends Comparable<T>> {
     }
 
     private AVLnode<T> root;
+    private int size; // number of nodes in the tree
 
     public AVL() {
         root = null;
+        size = 0;
     }
 
     // method to get the height from an int value (null height encoded as -1)
@@ -52,6 +54,7 @@ public class AVL<T extends Comparable<T>> {
     // deletion)
     public AVLnode<T> insert(T data, AVLnode<T> node) {
         if (node == null) {
+            size++;
             return new AVLnode<T>(data, null, null);
         }
 
@@ -171,6 +174,7 @@ public class AVL<T extends Comparable<T>> {
             node.right = delete(node.data, node.right);
         } else {
             node = (node.left != null) ? node.left : node.right;
+            size--;
         }
         return balance(node);
     }
@@ -183,4 +187,13 @@ public class AVL<T extends Comparable<T>> {
         return lookup(data, root) != null;
     }
 
+    public void delete(T data) {
+        root = delete(data, root);
+    }
+
+    // number of keys stored in the tree
+    public int size() {
+        return size;
+    }
+
 }
@@ -3,6 +3,9 @@ public class Hash_Table {
     private Node[] chainTable; // used for chaining
     private int[] quadTable; // used for quadratic probing
     private boolean[] occupied; // tracks vacancy of cells needed for quadratic probing
+    private boolean[] deleted; // tombstones left by quadratic probing deletes
+    private int chainCount; // number of keys stored via chaining
+    private int quadCount; // number of keys stored via quadratic probing
 
     // Node class for chaining
     private static class Node {
@@ -21,6 +24,7 @@ public class Hash_Table {
         chainTable = new Node[size];
         quadTable = new int[size];
         occupied = new boolean[size];
+        deleted = new boolean[size];
         for (int i = 0; i < size; i++) {
             quadTable[i] = -1; // Empty slot
         }
@@ -39,6 +43,7 @@ public class Hash_Table {
 
         if (chainTable[index] == null) {
             chainTable[index] = newNode;
+            chainCount++;
         } else {
             Node current = chainTable[index];
             while (current.next != null) {
@@ -46,27 +51,45 @@ public class Hash_Table {
                     return; // avoid duplicates
                 current = current.next;
             }
-            if (current.key != key)
+            if (current.key != key) {
                 current.next = newNode;
+                chainCount++;
+            }
         }
     }
 
     // insertion via quadratic probing
+    // probes until an empty cell so duplicates are skipped, and reuses the first
+    // tombstone seen on the way
     public void insertQuadratic(int key) {
         int hashVal = hash(key);
         int i = 0;
         int index;
+        int free = -1;
 
         while (i < table_size) {
             index = (hashVal + i * i) % table_size;
             if (!occupied[index]) {
-                quadTable[index] = key;
-                occupied[index] = true;
-                return;
+                if (free < 0)
+                    free = index;
+                break;
+            }
+            if (deleted[index]) {
+                if (free < 0)
+                    free = index;
+            } else if (quadTable[index] == key) {
+                return; // avoid duplicates
             }
             i++;
         }
-        System.out.println("Quadratic probing table full! Cannot insert key: " + key);
+        if (free < 0) {
+            System.out.println("Quadratic probing table full! Cannot insert key: " + key);
+            return;
+        }
+        quadTable[free] = key;
+        occupied[free] = true;
+        deleted[free] = false;
+        quadCount++;
     }
 
     // methods to lookup
@@ -92,13 +115,68 @@ public class Hash_Table {
             index = (hashVal + i * i) % table_size;
             if (!occupied[index])
                 return false; // empty means not found
-            if (quadTable[index] == key)
+            if (!deleted[index] && quadTable[index] == key)
                 return true;
             i++;
         }
         return false;
     }
 
+    // methods to delete
+    // deletion via chaining
+    public void deleteChain(int key) {
+        int index = hash(key);
+        Node current = chainTable[index];
+        Node prev = null;
+        while (current != null) {
+            if (current.key == key) {
+                if (prev == null)
+                    chainTable[index] = current.next;
+                else
+                    prev.next = current.next;
+                chainCount--;
+                return;
+            }
+            prev = current;
+            current = current.next;
+        }
+    }
+
+    // deletion via quadratic probing
+    // the cell stays occupied as a tombstone so later probe sequences are not cut
+    public void deleteQuadratic(int key) {
+        int hashVal = hash(key);
+        int i = 0;
+        int index;
+
+        while (i < table_size) {
+            index = (hashVal + i * i) % table_size;
+            if (!occupied[index])
+                return; // empty means not found
+            if (!deleted[index] && quadTable[index] == key) {
+                deleted[index] = true;
+                quadCount--;
+                return;
+            }
+            i++;
+        }
+    }
+
+    // number of keys stored via chaining
+    public int sizeChain() {
+        return chainCount;
+    }
+
+    // number of keys stored via quadratic probing
+    public int sizeQuadratic() {
+        return quadCount;
+    }
+
+    // number of buckets / cells in the table
+    public int getTableSize() {
+        return table_size;
+    }
+
     // some other helper methods
     // prints all the keys in chaining bucket at a specific index
     public void getChain(int index) {
@@ -127,7 +205,9 @@ public class Hash_Table {
 
         while (i < table_size) {
             index = (hashVal + i * i) % table_size;
-            if (occupied[index] && quadTable[index] == key) {
+            if (!occupied[index])
+                break;
+            if (!deleted[index] && quadTable[index] == key) {
                 System.out.println("Key " + key + " found at index " + index);
                 return;
             }
@@ -140,7 +220,7 @@ public class Hash_Table {
     public void printQuadraticTable() {
         System.out.println("Quadratic Probing Table:");
         for (int i = 0; i < table_size; i++) {
-            System.out.println(i + " : " + (occupied[i] ? quadTable[i] : "empty"));
+            System.out.println(i + " : " + (!occupied[i] ? "empty" : deleted[i] ? "deleted" : quadTable[i]));
         }
     }
 
@@ -0,0 +1,18 @@
+// IntSet.java is the common interface for every set structure the benchmark runs
+
+public interface IntSet {
+    // adds the key; inserting a key that is already present does nothing
+    void insert(int key);
+
+    boolean lookup(int key);
+
+    // removes the key; deleting a missing key does nothing
+    void delete(int key);
+
+    // number of keys currently stored
+    int size();
+
+    // estimated bytes held by the structure (64-bit JVM, compressed oops),
+    // computed from its shape rather than measured on the heap
+    long bytesUsed();
+}
@@ -0,0 +1,255 @@
+// IntSets.java adapts AVL, Splay, both Hash_Table modes and the JDK sets to the
+// IntSet interface, so the benchmark runner can treat them all the same way
+
+import java.util.*;
+
+public class IntSets {
+    // object layout estimates for a 64-bit JVM with compressed oops, shared by
+    // every IntSet.bytesUsed()
+    static final long HEADER = 12;
+    static final long REF = 4;
+    static final long ARRAY_HEADER = 16;
+    static final long INTEGER = 16; // boxed Integer key
+
+    private IntSets() {
+    }
+
+    // rounds an object size up to the 8 byte alignment
+    static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    public static IntSet avl() {
+        return new AVLSet();
+    }
+
+    public static IntSet splay() {
+        return new SplaySet();
+    }
+
+    public static IntSet chaining(int tableSize) {
+        return new ChainSet(tableSize);
+    }
+
+    public static IntSet quadratic(int tableSize) {
+        return new QuadSet(tableSize);
+    }
+
+    public static IntSet treeSet() {
+        return new TreeSetBaseline();
+    }
+
+    public static IntSet hashSet() {
+        return new HashSetBaseline();
+    }
+
+    // AVL tree of boxed keys
+    private static class AVLSet implements IntSet {
+        // AVLnode: data, left, right refs and an int height
+        private static final long NODE = align(HEADER + 3 * REF + 4) + INTEGER;
+        private final AVL<Integer> tree = new AVL<>();
+
+        @Override
+        public void insert(int key) {
+            tree.insert(key);
+        }
+
+        @Override
+        public boolean lookup(int key) {
+            return tree.lookup(key);
+        }
+
+        @Override
+        public void delete(int key) {
+            tree.delete(key);
+        }
+
+        @Override
+        public int size() {
+            return tree.size();
+        }
+
+        @Override
+        public long bytesUsed() {
+            return NODE * tree.size();
+        }
+    }
+
+    // Splay tree of boxed keys
+    private static class SplaySet implements IntSet {
+        // SplayNode: data, left, right refs
+        private static final long NODE = align(HEADER + 3 * REF) + INTEGER;
+        private final Splay<Integer> tree = new Splay<>();
+
+        @Override
+        public void insert(int key) {
+            tree.insert(key);
+        }
+
+        @Override
+        public boolean lookup(int key) {
+            return tree.lookup(key);
+        }
+
+        @Override
+        public void delete(int key) {
+            tree.delete(key);
+        }
+
+        @Override
+        public int size() {
+            return tree.size();
+        }
+
+        @Override
+        public long bytesUsed() {
+            return NODE * tree.size();
+        }
+    }
+
+    // Hash_Table allocates the arrays for both modes whichever one is used
+    private static long hashTableBytes(int tableSize) {
+        return align(ARRAY_HEADER + REF * tableSize) // chainTable
+                + align(ARRAY_HEADER + 4L * tableSize) // quadTable
+                + 2 * align(ARRAY_HEADER + tableSize); // occupied, deleted
+    }
+
+    // Hash_Table in chaining mode
+    private static class ChainSet implements IntSet {
+        // Node: int key and a next ref
+        private static final long NODE = align(HEADER + 4 + REF);
+        private final Hash_Table table;
+
+        ChainSet(int tableSize) {
+            table = new Hash_Table(tableSize);
+        }
+
+        @Override
+        public void insert(int key) {
+            table.insertChain(key);
+        }
+
+        @Override
+        public boolean lookup(int key) {
+            return table.lookupChain(key);
+        }
+
+        @Override
+        public void delete(int key) {
+            table.deleteChain(key);
+        }
+
+        @Override
+        public int size() {
+            return table.sizeChain();
+        }
+
+        @Override
+        public long bytesUsed() {
+            return hashTableBytes(table.getTableSize()) + NODE * table.sizeChain();
+        }
+    }
+
+    // Hash_Table in quadratic probing mode
+    private static class QuadSet implements IntSet {
+        private final Hash_Table table;
+
+        QuadSet(int tableSize) {
+            table = new Hash_Table(tableSize);
+        }
+
+        @Override
+        public void insert(int key) {
+            table.insertQuadratic(key);
+        }
+
+        @Override
+        public boolean lookup(int key) {
+            return table.lookupQuadratic(key);
+        }
+
+        @Override
+        public void delete(int key) {
+            table.deleteQuadratic(key);
+        }
+
+        @Override
+        public int size() {
+            return table.sizeQuadratic();
+        }
+
+        @Override
+        public long bytesUsed() {
+            return hashTableBytes(table.getTableSize());
+        }
+    }
+
+    // java.util.TreeSet (red-black tree) reference
+    private static class TreeSetBaseline implements IntSet {
+        // TreeMap.Entry: key, value, left, right, parent refs and a boolean color
+        private static final long ENTRY = align(HEADER + 5 * REF + 1) + INTEGER;
+        private final TreeSet<Integer> set = new TreeSet<>();
+
+        @Override
+        public void insert(int key) {
+            set.add(key);
+        }
+
+        @Override
+        public boolean lookup(int key) {
+            return set.contains(key);
+        }
+
+        @Override
+        public void delete(int key) {
+            set.remove(key);
+        }
+
+        @Override
+        public int size() {
+            return set.size();
+        }
+
+        @Override
+        public long bytesUsed() {
+            return ENTRY * set.size();
+        }
+    }
+
+    // java.util.HashSet reference
+    private static class HashSetBaseline implements IntSet {
+        // HashMap.Node: int hash and key, value, next refs
+        private static final long NODE = align(HEADER + 4 + 3 * REF) + INTEGER;
+        private final HashSet<Integer> set = new HashSet<>();
+        private int peak; // the bucket array never shrinks, so it follows the peak size
+
+        @Override
+        public void insert(int key) {
+            set.add(key);
+            peak = Math.max(peak, set.size());
+        }
+
+        @Override
+        public boolean lookup(int key) {
+            return set.contains(key);
+        }
+
+        @Override
+        public void delete(int key) {
+            set.remove(key);
+        }
+
+        @Override
+        public int size() {
+            return set.size();
+        }
+
+        @Override
+        public long bytesUsed() {
+            int buckets = 16;
+            while (buckets * 0.75 < peak)
+                buckets <<= 1;
+            return align(ARRAY_HEADER + REF * buckets) + NODE * set.size();
+        }
+    }
+}
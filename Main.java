@@ -5,82 +5,292 @@ public class Main {
     private static final int[] N = { 1000, 10000, 100000 };
     private static final int[] CHAIN_SIZE = { 928, 8329, 83329 };
     private static final int[] QUAD_SIZE = { 2003, 20011, 200003 };
+    private static final String[] FILE_DATASETS = { "iter1", "iter2", "iter3" };
+    private static final String[] PHASES = { "insert", "lookup", "mixed" };
 
-    public static void main(String[] args) {
-        System.out.println("Data Structure Performance Comparing Log");
+    // creates an empty structure sized for the given number of keys
+    private interface Factory {
+        IntSet create(int expected);
+    }
 
-        String basePath = "C:/DevTools/Projects/CS3345-a2/";
+    private static final Map<String, Factory> STRUCTURES = new LinkedHashMap<>();
+    static {
+        STRUCTURES.put("avl", n -> IntSets.avl());
+        STRUCTURES.put("splay", n -> IntSets.splay());
+        STRUCTURES.put("chain", n -> IntSets.chaining(chainSize(n)));
+        STRUCTURES.put("quad", n -> IntSets.quadratic(quadSize(n)));
+        STRUCTURES.put("treeset", n -> IntSets.treeSet());
+        STRUCTURES.put("hashset", n -> IntSets.hashSet());
+        STRUCTURES.put("openaddr", n -> new OpenAddressingSet(n));
+    }
 
-        String[] insertFiles = {
-                basePath + "iter1_insert_keys.txt",
-                basePath + "iter2_insert_keys.txt",
-                basePath + "iter3_insert_keys.txt"
-        };
+    // command line options
+    private static class Options {
+        List<String> structures = structureNames();
+        List<String> datasets = datasetNames();
+        String dir = ".";
+        int[] sizes = { N[0], N[1] };
+        int ops = -1; // -1 means the dataset size
+        double readRatio = 0.9;
+        double hitRatio = 0.5;
+        double deleteRatio = 0.5;
+        int reps = 3;
+        int warmup = 1;
+        long seed = 3345L;
+        String format = "text";
+        String out = null;
+    }
 
-        String[] searchFiles = {
-                basePath + "iter1_search_keys.txt",
-                basePath + "iter2_search_keys.txt",
-                basePath + "iter3_search_keys.txt"
-        };
+    // one dataset: the keys to insert, the keys to look up and the mixed stream
+    private static class Dataset {
+        final String name;
+        final int n; // keys in the insert stream
+        final int nominal; // size the dataset was built for, which sizes the hash tables
+        final int[] insertKeys;
+        final int[] searchKeys;
+        final Workload.OpStream mixed;
 
-        // this warms up JVM
-        warmUpJVM();
+        Dataset(String name, int nominal, int[] insertKeys, int[] searchKeys, Workload.OpStream mixed) {
+            this.name = name;
+            this.n = insertKeys.length;
+            this.nominal = nominal;
+            this.insertKeys = insertKeys;
+            this.searchKeys = searchKeys;
+            this.mixed = mixed;
+        }
+    }
 
-        for (int i = 0; i < 3; i++) {
-            System.out.println("\nDataset: " + (i + 1) + " (" + N[i] + " elements)");
-            List<Integer> insertKeys, searchKeys;
-            try {
-                insertKeys = readKeys(insertFiles[i]);
-                searchKeys = readKeys(searchFiles[i]);
-            } catch (IOException e) {
-                System.err.println("Error reading files: " + e.getMessage());
-                continue;
-            }
+    // timing summary of one phase of one structure on one dataset
+    private static class Result {
+        String dataset;
+        int n;
+        int nominal;
+        String structure;
+        String phase;
+        int ops;
+        int reps;
+        double minMs;
+        double medianMs;
+        double meanMs;
+        Long hits; // successful lookups, identical across structures; null without lookups
+        int size; // keys stored after the phase
+        long bytesUsed;
+        long heapBytes; // median heap growth over the phase
+        String error; // null when the phase ran, otherwise why the structure failed
+    }
 
-            // AVL tree
-            System.out.println("\n  AVL Tree");
-            try {
-                testAVL(insertKeys, searchKeys);
-            } catch (Exception e) {
-                System.err.println("AVL Error: " + e.getMessage());
+    public static void main(String[] args) {
+        Options opts;
+        try {
+            opts = parseArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(usage());
+            System.exit(1);
+            return;
+        }
+        if (opts == null) {
+            System.out.println(usage());
+            return;
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (Dataset data : loadDatasets(opts)) {
+            System.err.println("Dataset: " + data.name + " (" + data.n + " elements)");
+            for (String name : opts.structures) {
+                try {
+                    results.addAll(run(name, STRUCTURES.get(name), data, opts));
+                } catch (Exception | StackOverflowError e) {
+                    System.err.println("  " + name + " Error: " + e);
+                    results.addAll(failed(name, data, opts, e.toString()));
+                }
             }
+        }
+
+        if (opts.out == null) {
+            write(results, opts.format, System.out);
+            return;
+        }
+        try (PrintStream out = new PrintStream(new FileOutputStream(opts.out))) {
+            write(results, opts.format, out);
+        } catch (IOException e) {
+            System.err.println("Error writing results: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static String usage() {
+        return String.join(System.lineSeparator(),
+                "Usage: java Main [options]",
+                "  --structures LIST   comma separated, or all (default): " + String.join(",", structureNames()),
+                "  --datasets LIST     comma separated, or all (default): " + String.join(",", datasetNames()),
+                "  --dir PATH          directory holding the iter*_keys.txt files (default .)",
+                "  --n LIST            sizes for synthetic datasets (default 1000,10000)",
+                "  --ops N             size of the mixed operation stream (default: dataset size)",
+                "  --read-ratio R      fraction of lookups in the mixed stream (default 0.9)",
+                "  --hit-ratio R       fraction of synthetic and mixed lookups that hit (default 0.5)",
+                "  --delete-ratio R    fraction of deletes among mixed writes (default 0.5)",
+                "  --reps N            timed repetitions (default 3)",
+                "  --warmup N          untimed repetitions before the timed ones (default 1)",
+                "  --seed N            seed for the synthetic datasets (default 3345)",
+                "  --format FMT        text (default), csv or json",
+                "  --out FILE          write results to FILE instead of stdout");
+    }
 
-            // Splay Tree
-            System.out.println("\n  Splay Tree");
+    private static List<String> structureNames() {
+        return new ArrayList<>(STRUCTURES.keySet());
+    }
+
+    private static List<String> datasetNames() {
+        List<String> names = new ArrayList<>(Arrays.asList(FILE_DATASETS));
+        for (Workload.Distribution dist : Workload.Distribution.values())
+            names.add(dist.name().toLowerCase());
+        return names;
+    }
+
+    // returns null when only the usage was requested
+    private static Options parseArgs(String[] args) {
+        Options opts = new Options();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("-h") || arg.equals("--help"))
+                return null;
+            if (i + 1 >= args.length)
+                throw new IllegalArgumentException("Missing value for " + arg);
+            String value = args[++i];
             try {
-                testSplay(insertKeys, searchKeys);
-            } catch (Exception e) {
-                System.err.println("Splay Error: " + e.getMessage());
+                switch (arg) {
+                    case "--structures":
+                        opts.structures = parseNames(value, structureNames(), "structure");
+                        break;
+                    case "--datasets":
+                        opts.datasets = parseNames(value, datasetNames(), "dataset");
+                        break;
+                    case "--dir":
+                        opts.dir = value;
+                        break;
+                    case "--n":
+                        opts.sizes = Arrays.stream(value.split(",")).mapToInt(s -> Integer.parseInt(s.trim()))
+                                .toArray();
+                        break;
+                    case "--ops":
+                        opts.ops = Integer.parseInt(value);
+                        break;
+                    case "--read-ratio":
+                        opts.readRatio = Double.parseDouble(value);
+                        break;
+                    case "--hit-ratio":
+                        opts.hitRatio = Double.parseDouble(value);
+                        break;
+                    case "--delete-ratio":
+                        opts.deleteRatio = Double.parseDouble(value);
+                        break;
+                    case "--reps":
+                        opts.reps = Integer.parseInt(value);
+                        break;
+                    case "--warmup":
+                        opts.warmup = Integer.parseInt(value);
+                        break;
+                    case "--seed":
+                        opts.seed = Long.parseLong(value);
+                        break;
+                    case "--format":
+                        if (!value.equals("text") && !value.equals("csv") && !value.equals("json"))
+                            throw new IllegalArgumentException("Unknown format: " + value);
+                        opts.format = value;
+                        break;
+                    case "--out":
+                        opts.out = value;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value for " + arg + ": " + value);
             }
+        }
+        if (opts.reps < 1)
+            throw new IllegalArgumentException("--reps must be >= 1");
+        if (opts.warmup < 0)
+            throw new IllegalArgumentException("--warmup must be >= 0");
+        if (opts.ops < -1 || opts.ops == 0)
+            throw new IllegalArgumentException("--ops must be >= 1");
+        if (opts.readRatio < 0 || opts.readRatio > 1 || opts.hitRatio < 0 || opts.hitRatio > 1
+                || opts.deleteRatio < 0 || opts.deleteRatio > 1)
+            throw new IllegalArgumentException("--read-ratio, --hit-ratio and --delete-ratio must be in [0, 1]");
+        for (int n : opts.sizes)
+            if (n < 1)
+                throw new IllegalArgumentException("--n sizes must be >= 1");
+        return opts;
+    }
 
-            // Hash Table - chaining
-            System.out.println("\n  Hash Table (chaining)");
-            try {
-                testHash_Chaining(insertKeys, searchKeys, CHAIN_SIZE[i]);
-            } catch (Exception e) {
-                System.err.println("Hash (Chaining) Error: " + e.getMessage());
+    private static List<String> parseNames(String value, List<String> known, String kind) {
+        if (value.equals("all"))
+            return known;
+        List<String> names = new ArrayList<>();
+        for (String name : value.split(",")) {
+            name = name.trim().toLowerCase();
+            if (!known.contains(name))
+                throw new IllegalArgumentException("Unknown " + kind + ": " + name);
+            names.add(name);
+        }
+        return names;
+    }
+
+    // reads the file datasets and generates the synthetic ones in memory
+    private static List<Dataset> loadDatasets(Options opts) {
+        List<Dataset> datasets = new ArrayList<>();
+        for (String name : opts.datasets) {
+            int fileIndex = Arrays.asList(FILE_DATASETS).indexOf(name);
+            if (fileIndex >= 0) {
+                try {
+                    int[] insertKeys = readKeys(new File(opts.dir, name + "_insert_keys.txt").getPath());
+                    int[] searchKeys = readKeys(new File(opts.dir, name + "_search_keys.txt").getPath());
+                    datasets.add(new Dataset(name, N[fileIndex], insertKeys, searchKeys,
+                            mixed(searchKeys, insertKeys.length, opts)));
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Error reading files: " + e.getMessage());
+                }
+                continue;
             }
 
-            // Hash Table - quadratic probing
-            System.out.println("\n  Hash Table (quadratic probing)");
-            try {
-                testHash_Probing(insertKeys, searchKeys, QUAD_SIZE[i]);
-            } catch (Exception e) {
-                System.err.println("Hash (Quadratic) Error: " + e.getMessage());
+            Workload.Distribution dist = Workload.Distribution.valueOf(name.toUpperCase());
+            for (int n : opts.sizes) {
+                if (dist == Workload.Distribution.COLLISION) {
+                    // the chaining and probing tables have different sizes and keys cannot
+                    // collide under both within int range, so each mode gets its own keys
+                    addSynthetic(datasets, name + "_chain", dist, n, chainSize(n), opts);
+                    addSynthetic(datasets, name + "_quad", dist, n, quadSize(n), opts);
+                } else {
+                    addSynthetic(datasets, name, dist, n, chainSize(n), opts);
+                }
             }
         }
+        return datasets;
+    }
+
+    // generates a synthetic dataset; modulus is the table size collisions aim at.
+    // A failing generator only skips this dataset
+    private static void addSynthetic(List<Dataset> datasets, String name, Workload.Distribution dist, int n,
+            int modulus, Options opts) {
+        try {
+            int[] insertKeys = Workload.generate(dist, n, modulus, opts.seed);
+            int[] searchKeys = Workload.lookups(dist, insertKeys, n, modulus, opts.hitRatio, opts.seed,
+                    opts.seed + 1);
+            datasets.add(new Dataset(name, n, insertKeys, searchKeys, mixed(searchKeys, n, opts)));
+        } catch (RuntimeException e) {
+            System.err.println("Error generating " + name + " (" + n + " elements): " + e.getMessage());
+        }
     }
 
-    // JVM warmup method
-    private static void warmUpJVM() {
-        AVL<Integer> temp = new AVL<>();
-        for (int i = 0; i < 1000; i++)
-            temp.insert(i);
-        System.out.println("warmup complete, you may proceed");
+    private static Workload.OpStream mixed(int[] source, int n, Options opts) {
+        int ops = opts.ops < 0 ? n : opts.ops;
+        return Workload.mixed(source, ops, opts.readRatio, opts.hitRatio, opts.deleteRatio,
+                opts.seed + 2);
     }
 
     // reading files
-    private static List<Integer> readKeys(String filename) throws IOException {
+    private static int[] readKeys(String filename) throws IOException {
         List<Integer> keys = new ArrayList<>();
         try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
             String line;
@@ -90,10 +300,37 @@ public class Main {
                     keys.add(Integer.parseInt(line));
             }
         }
-        return keys;
+        return keys.stream().mapToInt(Integer::intValue).toArray();
     }
 
-    // measurement method
+    // table sizes of the original datasets, otherwise the same load factors
+    private static int chainSize(int n) {
+        for (int i = 0; i < N.length; i++)
+            if (N[i] == n)
+                return CHAIN_SIZE[i];
+        return Math.max(1, n * 5 / 6);
+    }
+
+    private static int quadSize(int n) {
+        for (int i = 0; i < N.length; i++)
+            if (N[i] == n)
+                return QUAD_SIZE[i];
+        int size = 2 * n + 1;
+        while (!isPrime(size))
+            size += 2;
+        return size;
+    }
+
+    private static boolean isPrime(int n) {
+        if (n < 2)
+            return false;
+        for (int d = 2; (long) d * d <= n; d++)
+            if (n % d == 0)
+                return false;
+        return true;
+    }
+
+    // measurement method, returns { elapsed ns, heap growth in bytes }
     private static long[] measure(Runnable operation) {
         try {
             System.gc();
@@ -109,84 +346,209 @@ public class Main {
 
         long end = System.nanoTime();
         long after = rt.totalMemory() - rt.freeMemory();
-        long elapsed = (end - start) / 1_000_000; // in ms
-        long used = after - before;
-        return new long[] { elapsed, used };
+        return new long[] { end - start, after - before };
     }
 
-    // AVL Testing
-    private static void testAVL(List<Integer> insertKeys, List<Integer> searchKeys) {
-        AVL<Integer> avl = new AVL<>();
-
-        long[] insertStats = measure(() -> {
-            for (Integer key : insertKeys)
-                avl.insert(key);
-        });
+    // runs the insert, lookup and mixed phases on a fresh structure per repetition
+    private static List<Result> run(String name, Factory factory, Dataset data, Options opts) {
+        String[] phases = PHASES;
+        int[] phaseOps = phaseOps(data);
+        long[][] times = new long[phases.length][opts.reps];
+        long[][] heap = new long[phases.length][opts.reps];
+        long[] hits = new long[phases.length];
+        int[] sizes = new int[phases.length];
+        long[] bytes = new long[phases.length];
 
-        System.out.printf("Insert: Time: %d ms | Memory: %d bytes%n", insertStats[0], insertStats[1]);
+        for (int rep = -opts.warmup; rep < opts.reps; rep++) {
+            IntSet set = factory.create(data.nominal);
+            long[] count = new long[1];
 
-        long[] searchStats = measure(() -> {
-            for (Integer key : searchKeys)
-                avl.lookup(key);
-        });
-        System.out.printf("Search: Time: %d ms | Memory: %d bytes%n", searchStats[0], searchStats[1]);
-    }
-
-    // Splay Testing
-    private static void testSplay(List<Integer> insertKeys, List<Integer> searchKeys) {
-        try {
-            Splay<Integer> splay = new Splay<>();
+            long[][] stats = new long[phases.length][];
+            stats[0] = measure(() -> {
+                for (int key : data.insertKeys)
+                    set.insert(key);
+            });
+            sizes[0] = set.size();
+            bytes[0] = set.bytesUsed();
 
-            long[] insertStats = measure(() -> {
-                for (Integer key : insertKeys) {
-                    splay.insert(key);
-                }
+            stats[1] = measure(() -> {
+                for (int key : data.searchKeys)
+                    if (set.lookup(key))
+                        count[0]++;
             });
-            System.out.printf("Insert: Time: %d ms | Memory: %d bytes%n", insertStats[0], insertStats[1]);
+            hits[1] = count[0];
+            sizes[1] = set.size();
+            bytes[1] = set.bytesUsed();
 
-            long[] searchStats = measure(() -> {
-                for (Integer key : searchKeys) {
-                    splay.lookup(key);
+            count[0] = 0;
+            stats[2] = measure(() -> {
+                byte[] ops = data.mixed.ops;
+                int[] keys = data.mixed.keys;
+                for (int i = 0; i < ops.length; i++) {
+                    if (ops[i] == Workload.INSERT)
+                        set.insert(keys[i]);
+                    else if (ops[i] == Workload.LOOKUP) {
+                        if (set.lookup(keys[i]))
+                            count[0]++;
+                    } else
+                        set.delete(keys[i]);
                 }
             });
-            System.out.printf("Search: Time: %d ms | Memory: %d bytes%n", searchStats[0], searchStats[1]);
+            hits[2] = count[0];
+            sizes[2] = set.size();
+            bytes[2] = set.bytesUsed();
+
+            if (rep < 0)
+                continue; // warmup
+            for (int p = 0; p < phases.length; p++) {
+                times[p][rep] = stats[p][0];
+                heap[p][rep] = stats[p][1];
+            }
+        }
 
-        } catch (Exception e) {
-            System.out.println("Splay Error: " + e);
+        List<Result> results = new ArrayList<>();
+        for (int p = 0; p < phases.length; p++) {
+            Result r = new Result();
+            r.dataset = data.name;
+            r.n = data.n;
+            r.nominal = data.nominal;
+            r.structure = name;
+            r.phase = phases[p];
+            r.ops = phaseOps[p];
+            r.reps = opts.reps;
+            long[] t = times[p].clone();
+            Arrays.sort(t);
+            r.minMs = t[0] / 1e6;
+            r.medianMs = median(t) / 1e6;
+            r.meanMs = Arrays.stream(t).average().orElse(0) / 1e6;
+            r.hits = p == 0 ? null : hits[p]; // the insert phase does no lookups
+            r.size = sizes[p];
+            r.bytesUsed = bytes[p];
+            long[] h = heap[p].clone();
+            Arrays.sort(h);
+            r.heapBytes = (long) median(h);
+            results.add(r);
         }
+        return results;
     }
 
-    // testing Hash - Chaining
-    private static void testHash_Chaining(List<Integer> insertKeys, List<Integer> searchKeys, int size) {
-        Hash_Table ht = new Hash_Table(size);
+    // rows recording that a structure failed on a dataset, so the failure shows up in
+    // the output instead of the structure silently missing from it
+    private static List<Result> failed(String name, Dataset data, Options opts, String error) {
+        int[] phaseOps = phaseOps(data);
+        List<Result> results = new ArrayList<>();
+        for (int p = 0; p < PHASES.length; p++) {
+            Result r = new Result();
+            r.dataset = data.name;
+            r.n = data.n;
+            r.nominal = data.nominal;
+            r.structure = name;
+            r.phase = PHASES[p];
+            r.ops = phaseOps[p];
+            r.reps = opts.reps;
+            r.error = error;
+            results.add(r);
+        }
+        return results;
+    }
 
-        long[] insertStats = measure(() -> {
-            for (Integer key : insertKeys)
-                ht.insertChain(key);
-        });
-        System.out.printf("Insert: Time: %d ms | Memory: %d bytes%n", insertStats[0], insertStats[1]);
+    private static int[] phaseOps(Dataset data) {
+        return new int[] { data.insertKeys.length, data.searchKeys.length, data.mixed.size() };
+    }
 
-        long[] searchStats = measure(() -> {
-            for (Integer key : searchKeys)
-                ht.lookupChain(key);
-        });
-        System.out.printf("Search: Time: %d ms | Memory: %d bytes%n", searchStats[0], searchStats[1]);
+    // median of a sorted array
+    private static double median(long[] sorted) {
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2.0;
     }
 
-    // testing Hashing - quadratic probing
-    private static void testHash_Probing(List<Integer> insertKeys, List<Integer> searchKeys, int size) {
-        Hash_Table ht = new Hash_Table(size);
+    private static void write(List<Result> results, String format, PrintStream out) {
+        switch (format) {
+            case "csv":
+                writeCsv(results, out);
+                break;
+            case "json":
+                writeJson(results, out);
+                break;
+            default:
+                writeText(results, out);
+        }
+    }
 
-        long[] insertStats = measure(() -> {
-            for (Integer key : insertKeys)
-                ht.insertQuadratic(key);
-        });
-        System.out.printf("Insert: Time: %d ms | Memory: %d bytes%n", insertStats[0], insertStats[1]);
+    private static void writeText(List<Result> results, PrintStream out) {
+        out.println("Data Structure Performance Comparing Log");
+        String lastDataset = null;
+        String lastStructure = null;
+        for (Result r : results) {
+            String dataset = r.dataset + " (" + r.n + " elements"
+                    + (r.nominal != r.n ? ", nominal " + r.nominal : "") + ")";
+            if (!dataset.equals(lastDataset)) {
+                out.println("\nDataset: " + dataset);
+                lastDataset = dataset;
+                lastStructure = null;
+            }
+            if (!r.structure.equals(lastStructure)) {
+                out.println("\n  " + r.structure);
+                lastStructure = r.structure;
+            }
+            if (r.error != null) {
+                out.printf("%-6s: Error: %s%n", r.phase, r.error);
+                continue;
+            }
+            out.printf(Locale.ROOT, "%-6s: Time: %.3f ms (min %.3f, mean %.3f, %d reps) | Ops: %d%s"
+                    + " | Size: %d | Bytes used: %d | Heap: %d bytes%n",
+                    r.phase, r.medianMs, r.minMs, r.meanMs, r.reps, r.ops,
+                    r.hits == null ? "" : " | Hits: " + r.hits, r.size, r.bytesUsed, r.heapBytes);
+        }
+    }
+
+    private static void writeCsv(List<Result> results, PrintStream out) {
+        out.println("dataset,n,nominal_n,structure,phase,ops,reps,min_ms,median_ms,mean_ms,hits,size,bytes_used,heap_bytes,"
+                + "status,error");
+        for (Result r : results) {
+            out.printf(Locale.ROOT, "%s,%d,%d,%s,%s,%d,%d,", r.dataset, r.n, r.nominal, r.structure, r.phase, r.ops,
+                    r.reps);
+            if (r.error != null)
+                out.printf(",,,,,,,error,\"%s\"%n", r.error.replace("\"", "\"\""));
+            else
+                out.printf(Locale.ROOT, "%.6f,%.6f,%.6f,%s,%d,%d,%d,ok,%n",
+                        r.minMs, r.medianMs, r.meanMs, r.hits == null ? "" : r.hits, r.size, r.bytesUsed,
+                        r.heapBytes);
+        }
+    }
 
-        long[] searchStats = measure(() -> {
-            for (Integer key : searchKeys)
-                ht.lookupQuadratic(key);
-        });
-        System.out.printf("Search: Time: %d ms | Memory: %d bytes%n", searchStats[0], searchStats[1]);
+    private static void writeJson(List<Result> results, PrintStream out) {
+        out.println("[");
+        for (int i = 0; i < results.size(); i++) {
+            Result r = results.get(i);
+            out.printf(Locale.ROOT, "  {\"dataset\": \"%s\", \"n\": %d, \"nominal_n\": %d, \"structure\": \"%s\","
+                    + " \"phase\": \"%s\", \"ops\": %d, \"reps\": %d, ", r.dataset, r.n, r.nominal, r.structure,
+                    r.phase, r.ops, r.reps);
+            if (r.error != null)
+                out.printf("\"min_ms\": null, \"median_ms\": null, \"mean_ms\": null, \"hits\": null,"
+                        + " \"size\": null, \"bytes_used\": null, \"heap_bytes\": null, \"status\": \"error\","
+                        + " \"error\": \"%s\"}", jsonEscape(r.error));
+            else
+                out.printf(Locale.ROOT, "\"min_ms\": %.6f, \"median_ms\": %.6f, \"mean_ms\": %.6f, \"hits\": %s,"
+                        + " \"size\": %d, \"bytes_used\": %d, \"heap_bytes\": %d, \"status\": \"ok\","
+                        + " \"error\": null}",
+                        r.minMs, r.medianMs, r.meanMs, r.hits == null ? "null" : r.hits, r.size, r.bytesUsed,
+                        r.heapBytes);
+            out.println(i + 1 < results.size() ? "," : "");
+        }
+        out.println("]");
+    }
+
+    private static String jsonEscape(String s) {
+        StringBuilder sb = new StringBuilder();
+        for (char c : s.toCharArray()) {
+            if (c == '"' || c == '\\')
+                sb.append('\\').append(c);
+            else if (c < 0x20)
+                sb.append(String.format("\\u%04x", (int) c));
+            else
+                sb.append(c);
+        }
+        return sb.toString();
     }
 }
@@ -0,0 +1,111 @@
+// OpenAddressingSet.java is a primitive int set using linear probing, used as a
+// reference baseline for the custom structures (no boxing, no per-key objects)
+
+public class OpenAddressingSet implements IntSet {
+    private static final int EMPTY = 0; // key 0 is tracked separately by hasZero
+    private static final double MAX_LOAD = 0.5;
+
+    private int[] table;
+    private int mask;
+    private int shift; // 32 - log2(table.length)
+    private int count; // keys stored in table (excluding 0)
+    private boolean hasZero;
+
+    public OpenAddressingSet(int expected) {
+        int capacity = 2;
+        while (capacity * MAX_LOAD < expected)
+            capacity <<= 1;
+        table = new int[capacity];
+        mask = capacity - 1;
+        shift = 32 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    // Fibonacci hashing spreads sequential and modulus-aligned keys over the table
+    private int slot(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+
+    @Override
+    public void insert(int key) {
+        if (key == EMPTY) {
+            hasZero = true;
+            return;
+        }
+        int i = slot(key);
+        while (table[i] != EMPTY) {
+            if (table[i] == key)
+                return; // avoid duplicates
+            i = (i + 1) & mask;
+        }
+        table[i] = key;
+        if (++count > table.length * MAX_LOAD)
+            resize(table.length << 1);
+    }
+
+    @Override
+    public boolean lookup(int key) {
+        if (key == EMPTY)
+            return hasZero;
+        int i = slot(key);
+        while (table[i] != EMPTY) {
+            if (table[i] == key)
+                return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    // backward-shift deletion: later keys of the probe run are moved into the gap,
+    // so no tombstones are needed
+    @Override
+    public void delete(int key) {
+        if (key == EMPTY) {
+            hasZero = false;
+            return;
+        }
+        int i = slot(key);
+        while (table[i] != key) {
+            if (table[i] == EMPTY)
+                return; // not found
+            i = (i + 1) & mask;
+        }
+        int gap = i;
+        int j = (i + 1) & mask;
+        while (table[j] != EMPTY) {
+            int home = slot(table[j]);
+            // move table[j] into the gap unless its home lies cyclically in (gap, j]
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                table[gap] = table[j];
+                gap = j;
+            }
+            j = (j + 1) & mask;
+        }
+        table[gap] = EMPTY;
+        count--;
+    }
+
+    @Override
+    public int size() {
+        return count + (hasZero ? 1 : 0);
+    }
+
+    @Override
+    public long bytesUsed() {
+        return IntSets.align(IntSets.ARRAY_HEADER + 4L * table.length);
+    }
+
+    private void resize(int capacity) {
+        int[] old = table;
+        table = new int[capacity];
+        mask = capacity - 1;
+        shift = 32 - Integer.numberOfTrailingZeros(capacity);
+        for (int key : old) {
+            if (key == EMPTY)
+                continue;
+            int i = slot(key);
+            while (table[i] != EMPTY)
+                i = (i + 1) & mask;
+            table[i] = key;
+        }
+    }
+}
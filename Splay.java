@@ -21,15 +21,18 @@ public class Splay<T extends Comparable<T>> {
     }
 
     private SplayNode<T> root;
+    private int size; // number of nodes in the tree
 
     public Splay() {
         root = null;
+        size = 0;
     }
 
     // Splay Tree insertion method - simply inserts, splaying is done as a separate
     // operation, to modularize the code
     private SplayNode<T> insert(T data, SplayNode<T> node) {
         if (node == null) {
+            size++;
             return new SplayNode<T>(data, null, null);
         }
 
@@ -132,6 +135,7 @@ public class Splay<T extends Comparable<T>> {
     public void insert(T data) {
         if (root == null) {
             root = new SplayNode<>(data);
+            size = 1;
             return;
         }
         root = insert(data, root);
@@ -146,4 +150,27 @@ public class Splay<T extends Comparable<T>> {
         return root != null && root.data.equals(data);
     }
 
+    // splays the key to the root, then joins the two subtrees: splaying the
+    // removed key in the left subtree brings its maximum up, leaving no right child
+    public void delete(T data) {
+        if (root == null)
+            return;
+        root = splay(data, root);
+        if (data.compareTo(root.data) != 0)
+            return;
+        if (root.left == null) {
+            root = root.right;
+        } else {
+            SplayNode<T> right = root.right;
+            root = splay(data, root.left);
+            root.right = right;
+        }
+        size--;
+    }
+
+    // number of keys stored in the tree
+    public int size() {
+        return size;
+    }
+
 }
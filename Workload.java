@@ -0,0 +1,351 @@
+// Workload.java generates seeded, reproducible synthetic key streams and mixed
+// operation streams, so the benchmarks are not limited to the iter*_keys.txt files
+
+import java.util.*;
+
+public class Workload {
+    // key range used by the fixed datasets (keys are kept non-negative so that
+    // Hash_Table's key % table_size always lands on a valid index)
+    public static final int DEFAULT_KEY_SPACE = 1_000_000;
+
+    // operation codes used in an OpStream
+    public static final byte INSERT = 0;
+    public static final byte LOOKUP = 1;
+    public static final byte DELETE = 2;
+
+    // supported key distributions
+    public enum Distribution {
+        UNIFORM, ZIPF, SEQUENTIAL, REVERSE, HOT_SET, COLLISION
+    }
+
+    // a mixed operation stream: ops[i] is applied to keys[i]
+    public static class OpStream {
+        public final byte[] ops;
+        public final int[] keys;
+
+        OpStream(byte[] ops, int[] keys) {
+            this.ops = ops;
+            this.keys = keys;
+        }
+
+        public int size() {
+            return ops.length;
+        }
+    }
+
+    private Workload() {
+    }
+
+    // hot-set phases used by generate(), also needed to match lookups to them
+    private static final int HOT_PHASES = 4;
+    // bound on the batches drawn while looking for keys that were not inserted
+    private static final int MAX_MISS_ROUNDS = 1000;
+
+    // generates n keys from the given distribution with default parameters
+    // (Zipf theta 0.99, 10% hot set taking 90% of accesses over 4 phases, and
+    // collisions aimed at the given modulus, in as few buckets as fit n keys)
+    public static int[] generate(Distribution dist, int n, int modulus, long seed) {
+        return generate(dist, n, modulus, seed, seed);
+    }
+
+    // seed fixes the key universe (Zipf ranking, hot windows, collision buckets),
+    // sampleSeed the keys drawn from it
+    private static int[] generate(Distribution dist, int n, int modulus, long seed, long sampleSeed) {
+        switch (dist) {
+            case UNIFORM:
+                return uniform(n, DEFAULT_KEY_SPACE, sampleSeed);
+            case ZIPF:
+                return zipf(n, DEFAULT_KEY_SPACE, 0.99, seed, sampleSeed);
+            case SEQUENTIAL:
+                return sequential(n, 1);
+            case REVERSE:
+                return reverse(n, 1);
+            case HOT_SET:
+                return hotSet(n, DEFAULT_KEY_SPACE, 0.1, 0.9, HOT_PHASES, seed, sampleSeed);
+            case COLLISION:
+                return collision(n, modulus, 1, seed, sampleSeed);
+            default:
+                throw new IllegalArgumentException("Unknown distribution: " + dist);
+        }
+    }
+
+    // n lookup keys for keys inserted by generate(dist, ..., modulus, seed). A
+    // fraction hitRatio are inserted keys, picked so they keep the insert stream's
+    // popularity (zipf), phase (hot_set) or order (sequential, reverse); the rest are
+    // misses from the same key universe, e.g. in the same collision buckets
+    public static int[] lookups(Distribution dist, int[] inserted, int n, int modulus, double hitRatio, long seed,
+            long sampleSeed) {
+        checkArgs(n, 1);
+        if (inserted.length == 0)
+            throw new IllegalArgumentException("inserted stream is empty");
+        if (hitRatio < 0 || hitRatio > 1)
+            throw new IllegalArgumentException("hitRatio must be in [0, 1]: " + hitRatio);
+        Random rng = new Random(sampleSeed);
+
+        boolean[] hit = new boolean[n];
+        int missCount = 0;
+        for (int i = 0; i < n; i++) {
+            hit[i] = rng.nextDouble() < hitRatio;
+            if (!hit[i])
+                missCount++;
+        }
+        boolean ordered = dist == Distribution.SEQUENTIAL || dist == Distribution.REVERSE;
+        int[] misses = ordered ? null : misses(dist, inserted, missCount, modulus, seed, sampleSeed);
+
+        int len = inserted.length;
+        int[] keys = new int[n];
+        int nextMiss = 0;
+        for (int i = 0; i < n; i++) {
+            if (ordered) {
+                // the contiguous key range shifted by its length is never inserted
+                int key = inserted[(int) ((long) i * len / n)];
+                keys[i] = hit[i] ? key : key + len;
+            } else if (!hit[i]) {
+                keys[i] = misses[nextMiss++];
+            } else if (dist == Distribution.HOT_SET) {
+                // stay in the same phase, i.e. the same hot window
+                int phaseLength = (len + HOT_PHASES - 1) / HOT_PHASES;
+                int start = Math.min((int) ((long) i * HOT_PHASES / n) * phaseLength, len - 1);
+                keys[i] = inserted[start + rng.nextInt(Math.min(phaseLength, len - start))];
+            } else {
+                // repeated keys in inserted keep their weight, so zipf stays skewed
+                keys[i] = inserted[rng.nextInt(len)];
+            }
+        }
+        return keys;
+    }
+
+    // count keys from the distribution's universe that are not in inserted
+    private static int[] misses(Distribution dist, int[] inserted, int count, int modulus, long seed,
+            long sampleSeed) {
+        Set<Integer> present = new HashSet<>();
+        for (int key : inserted)
+            present.add(key);
+
+        int[] misses = new int[count];
+        int found = 0;
+        for (int round = 1; found < count; round++) {
+            if (round > MAX_MISS_ROUNDS)
+                throw new IllegalArgumentException("Cannot find " + count + " keys outside the set for " + dist);
+            for (int key : generate(dist, Math.max(count, 16), modulus, seed, sampleSeed + round)) {
+                if (found == count)
+                    break;
+                if (!present.contains(key))
+                    misses[found++] = key;
+            }
+        }
+        return misses;
+    }
+
+    // uniform random keys in [1, keySpace]
+    public static int[] uniform(int n, int keySpace, long seed) {
+        checkArgs(n, keySpace);
+        Random rng = new Random(seed);
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++)
+            keys[i] = 1 + rng.nextInt(keySpace);
+        return keys;
+    }
+
+    // Zipf(theta) keys over keySpace ranks; rank 1 is the most popular.
+    // Ranks are scattered over [1, keySpace] by a permutation fixed by seed so that
+    // hot keys are not simply the smallest integers; sampleSeed drives the draws
+    public static int[] zipf(int n, int keySpace, double theta, long seed, long sampleSeed) {
+        checkArgs(n, keySpace);
+        if (theta < 0)
+            throw new IllegalArgumentException("theta must be >= 0: " + theta);
+        Random rng = new Random(sampleSeed);
+
+        // cumulative distribution over ranks
+        double[] cdf = new double[keySpace];
+        double sum = 0;
+        for (int r = 0; r < keySpace; r++) {
+            sum += 1.0 / Math.pow(r + 1, theta);
+            cdf[r] = sum;
+        }
+
+        int[] rankToKey = permutation(keySpace, new Random(seed));
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            double u = rng.nextDouble() * sum;
+            int r = Arrays.binarySearch(cdf, u);
+            if (r < 0)
+                r = -r - 1;
+            if (r >= keySpace)
+                r = keySpace - 1;
+            keys[i] = rankToKey[r];
+        }
+        return keys;
+    }
+
+    // ascending keys start, start + 1, ...
+    public static int[] sequential(int n, int start) {
+        checkArgs(n, 1);
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++)
+            keys[i] = start + i;
+        return keys;
+    }
+
+    // descending keys start + n - 1, ..., start
+    public static int[] reverse(int n, int start) {
+        checkArgs(n, 1);
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++)
+            keys[i] = start + n - 1 - i;
+        return keys;
+    }
+
+    // keys drawn from a hot window (hotFraction of keySpace) with probability
+    // hotProbability, otherwise uniformly from the whole space. The window moves to
+    // a new position, fixed by seed, at the start of each of the given phases
+    public static int[] hotSet(int n, int keySpace, double hotFraction, double hotProbability, int phases,
+            long seed, long sampleSeed) {
+        checkArgs(n, keySpace);
+        if (hotFraction <= 0 || hotFraction > 1)
+            throw new IllegalArgumentException("hotFraction must be in (0, 1]: " + hotFraction);
+        if (hotProbability < 0 || hotProbability > 1)
+            throw new IllegalArgumentException("hotProbability must be in [0, 1]: " + hotProbability);
+        if (phases < 1)
+            throw new IllegalArgumentException("phases must be >= 1: " + phases);
+        Random rng = new Random(sampleSeed);
+
+        int hotSize = Math.max(1, (int) (keySpace * hotFraction));
+        int[] hotStarts = new int[phases];
+        Random universe = new Random(seed);
+        for (int p = 0; p < phases; p++)
+            hotStarts[p] = universe.nextInt(keySpace - hotSize + 1);
+
+        int phaseLength = (n + phases - 1) / phases;
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            int hotStart = hotStarts[i / phaseLength];
+            if (rng.nextDouble() < hotProbability)
+                keys[i] = 1 + hotStart + rng.nextInt(hotSize);
+            else
+                keys[i] = 1 + rng.nextInt(keySpace);
+        }
+        return keys;
+    }
+
+    // distinct keys that all fall into the given number of buckets under
+    // key % modulus, i.e. the worst case for Hash_Table.hash(). When a residue
+    // class has too few non-negative ints for its share of the keys, the keys
+    // spill into as many extra buckets as needed. The buckets are fixed by seed,
+    // the keys drawn in them by sampleSeed
+    public static int[] collision(int n, int modulus, int buckets, long seed, long sampleSeed) {
+        checkArgs(n, 1);
+        if (modulus < 1)
+            throw new IllegalArgumentException("modulus must be >= 1: " + modulus);
+        if (buckets < 1 || buckets > modulus)
+            throw new IllegalArgumentException("buckets must be in [1, modulus]: " + buckets);
+
+        // multiples of the modulus that keep every key within int range
+        long maxMultiple = (Integer.MAX_VALUE - modulus) / modulus;
+        buckets = (int) Math.max(buckets, (n + maxMultiple - 1) / maxMultiple);
+        if (buckets > modulus)
+            throw new IllegalArgumentException("Too many keys for modulus " + modulus + ": " + n);
+        Random rng = new Random(sampleSeed);
+
+        int[] residues = new int[buckets];
+        int[] perm = permutation(modulus, new Random(seed));
+        for (int b = 0; b < buckets; b++)
+            residues[b] = perm[b] - 1; // permutation is 1-based
+
+        Set<Integer> used = new HashSet<>();
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            int residue = residues[i % buckets];
+            int key;
+            do {
+                long multiple = 1 + (long) (rng.nextDouble() * maxMultiple);
+                key = (int) (multiple * modulus + residue);
+            } while (!used.add(key));
+            keys[i] = key;
+        }
+        return keys;
+    }
+
+    // mixed insert/lookup/delete stream of the given size. A fraction readRatio of
+    // the operations are lookups, which with probability hitRatio target a key the
+    // stream inserted and has not deleted, otherwise a source key outside that set.
+    // The remaining writes are deletes of such a live key with probability
+    // deleteRatio, otherwise inserts of the next source key
+    public static OpStream mixed(int[] source, int size, double readRatio, double hitRatio, double deleteRatio,
+            long seed) {
+        checkArgs(size, 1);
+        if (source.length == 0)
+            throw new IllegalArgumentException("source stream is empty");
+        if (readRatio < 0 || readRatio > 1)
+            throw new IllegalArgumentException("readRatio must be in [0, 1]: " + readRatio);
+        if (hitRatio < 0 || hitRatio > 1)
+            throw new IllegalArgumentException("hitRatio must be in [0, 1]: " + hitRatio);
+        if (deleteRatio < 0 || deleteRatio > 1)
+            throw new IllegalArgumentException("deleteRatio must be in [0, 1]: " + deleteRatio);
+        Random rng = new Random(seed);
+
+        byte[] ops = new byte[size];
+        int[] keys = new int[size];
+        int[] live = new int[size]; // distinct keys inserted and not yet deleted
+        Set<Integer> liveSet = new HashSet<>();
+        int liveCount = 0;
+        int next = 0;
+        int spare = Integer.MAX_VALUE; // miss keys once every source key is live
+        for (int i = 0; i < size; i++) {
+            if (rng.nextDouble() < readRatio) {
+                ops[i] = LOOKUP;
+                if (liveCount > 0 && rng.nextDouble() < hitRatio) {
+                    keys[i] = live[rng.nextInt(liveCount)];
+                    continue;
+                }
+                int key = -1;
+                for (int tries = 0; tries < source.length && key < 0; tries++) {
+                    if (!liveSet.contains(source[next]))
+                        key = source[next];
+                    next = (next + 1) % source.length;
+                }
+                while (key < 0) {
+                    if (!liveSet.contains(spare))
+                        key = spare;
+                    spare--;
+                }
+                keys[i] = key;
+            } else if (liveCount > 0 && rng.nextDouble() < deleteRatio) {
+                int j = rng.nextInt(liveCount);
+                ops[i] = DELETE;
+                keys[i] = live[j];
+                liveSet.remove(live[j]);
+                live[j] = live[--liveCount];
+            } else {
+                int key = source[next];
+                next = (next + 1) % source.length;
+                ops[i] = INSERT;
+                keys[i] = key;
+                if (liveSet.add(key))
+                    live[liveCount++] = key;
+            }
+        }
+        return new OpStream(ops, keys);
+    }
+
+    // shuffled 1..size
+    private static int[] permutation(int size, Random rng) {
+        int[] perm = new int[size];
+        for (int i = 0; i < size; i++)
+            perm[i] = i + 1;
+        for (int i = size - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int tmp = perm[i];
+            perm[i] = perm[j];
+            perm[j] = tmp;
+        }
+        return perm;
+    }
+
+    private static void checkArgs(int n, int keySpace) {
+        if (n < 0)
+            throw new IllegalArgumentException("n must be >= 0: " + n);
+        if (keySpace < 1)
+            throw new IllegalArgumentException("keySpace must be >= 1: " + keySpace);
+    }
+}